@@ -1,6 +1,8 @@
 package io.hbt.java.AlphaBetaPruning;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
@@ -39,15 +41,60 @@ public class AlphaBetaPruning {
      * @return Returned via the TreeNode reference passed in.
      */
     public static void prune(TreeNode t, Actor a) throws PruningException {
+        AlphaBetaPruning.prune(t, a, null);
+    }
+
+    /**
+     * Alpha-beta pruning, consulting a value cache before expanding each branch.
+     * The root is searched with a full window, whatever a previous run left on it.
+     * @param t Tree to prune.
+     * @param a Actor starting at the root of the tree.
+     * @param cache Subtree value cache, or null to search without one.
+     * @throws PruningException Errors produced during the alpha-beta execution.
+     * @return Returned via the TreeNode reference passed in.
+     */
+    public static void prune(TreeNode t, Actor a, ValueCache cache) throws PruningException {
+        if(t instanceof TreeBranch) ((TreeBranch) t).setAlphaBeta(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        AlphaBetaPruning.search(t, a, cache);
+    }
+
+    /**
+     * Recursive step of prune(); the branch's alpha and beta must already be set.
+     * @param t Tree to prune.
+     * @param a Actor starting at the root of the tree.
+     * @param cache Subtree value cache, or null to search without one.
+     * @throws PruningException Errors produced during the alpha-beta execution.
+     */
+    private static void search(TreeNode t, Actor a, ValueCache cache) throws PruningException {
         if(t instanceof TreeLeaf) {
             // Value already set as it's a leaf.
         }
         else if(t instanceof TreeBranch) {
 
             // Start at the root and start DFS with pruning.
-            // Alpha and Beta already set in the constructor of TreeBranch.
+            // Alpha and Beta already set by prune() or the parent's search.
             TreeBranch root = (TreeBranch) t;
-            ArrayList<TreeNode> children = root.getChildren();
+            int alpha = root.getAlpha(), beta = root.getBeta();
+
+            // A cached value usable in this window saves expanding the subtree.
+            long key = 0;
+            if(cache != null) {
+                key = ValueCache.keyFor(root, a);
+                Integer cached = cache.probe(key, alpha, beta);
+                if(cached != null) {
+                    // Leave the window as a full search returning this value would.
+                    root.setValue(cached);
+                    if(a == Actor.MAX) root.setAlpha(Math.max(cached, alpha));
+                    else root.setBeta(Math.min(cached, beta));
+                    return;
+                }
+            }
+
+            // Drop any value from an earlier search so the result (and what gets
+            // cached) depends only on this window.
+            root.clearValue();
+
+            List<TreeNode> children = root.getChildren();
             AlphaBetaPruning.Actor adversary = switchAgent(a);
 
             int count = 1;
@@ -60,7 +107,7 @@ public class AlphaBetaPruning {
                 if (n instanceof TreeBranch) {
                     TreeBranch b = (TreeBranch) n;
                     b.setAlphaBeta(root.getAlpha(), root.getBeta());
-                    AlphaBetaPruning.prune(b, adversary);
+                    AlphaBetaPruning.search(b, adversary, cache);
                 }
 
                 // Sanity check.
@@ -86,12 +133,13 @@ public class AlphaBetaPruning {
                     System.out.println("---");
                     System.out.println("Pruning node after child #" + count + " with value " + root.getValue());
                     System.out.println("Alpha: " + prettyIntPrint(root.getAlpha()) + ", Beta: " + prettyIntPrint(root.getBeta()));
-                    return; // Don't explore remaining children.
+                    break; // Don't explore remaining children.
                 }
 
                 count++;
             }
 
+            if(cache != null && root.hasValue()) cache.store(key, root.getValue(), alpha, beta, root.getLeafCount());
         }
 
         else throw new PruningException("Invalid Input. The tree is neither a branch or a node!");
@@ -156,7 +204,7 @@ public class AlphaBetaPruning {
 
     /**
      * Program entry point.
-     * @param args Call arguments.
+     * @param args Call arguments. An optional path to a value cache file, reused across runs.
      */
     public static void main(String[] args) {
         try {
@@ -176,7 +224,8 @@ public class AlphaBetaPruning {
             TreeBranch root = new TreeBranch(t1, t2, t3);
 
             // Prune!
-            AlphaBetaPruning.prune(root, Actor.MIN);
+            ValueCache cache = args.length > 0 ? new ValueCache(new File(args[0]), 1 << 16) : null;
+            AlphaBetaPruning.prune(root, Actor.MIN, cache);
             System.out.println("---");
             System.out.println("Successfully pruned.");
             System.out.println("Optimum for First Player = " + root.getValue());
@@ -185,25 +234,39 @@ public class AlphaBetaPruning {
                 System.out.println("[Alpha: " + prettyIntPrint(branch.getAlpha()) + ", Beta: " + prettyIntPrint(branch.getBeta()) + "]");
             }
             System.out.println("---");
+            if(cache != null) {
+                cache.flush();
+                System.out.println(cache.getStats());
+            }
         }
         catch(PruningException pe) {
             System.out.println(pe.getErrorMessage());
         }
 
         /*
-         * Sample Output:
+         * Sample Output, with a fresh cache file (the last line is omitted without one):
          *
          * ---
-         * Pruning node after child #1 with value 8
-         * Alpha: 8, Beta: 8
+         * Pruning node after child #1 with value 2
+         * Alpha: 2, Beta: 1
+         * ---
+         * Pruning node after child #1 with value 7
+         * Alpha: 7, Beta: 2
+         * ---
+         * Pruning node after child #1 with value 9
+         * Alpha: 9, Beta: 4
+         * ---
+         * Pruning node after child #1 with value 4
+         * Alpha: 4, Beta: -1
          * ---
-         * Pruning node after child #1 with value 8
-         * Alpha: 8, Beta: 8
+         * Pruning node after child #1 with value 20
+         * Alpha: 20, Beta: 4
          * ---
          * Successfully pruned.
-         * Optimum for First Player = 8
-         * [Alpha: 8, Beta: Infinity]
+         * Optimum for First Player = -1
+         * [Alpha: -Infinity, Beta: -1]
          * ---
+         * Cache hits: 0, misses: 22, stores: 22, evictions: 0 (hit rate 0.0%)
          */
     }
 }
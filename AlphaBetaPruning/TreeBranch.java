@@ -1,6 +1,8 @@
 package io.hbt.java.AlphaBetaPruning;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
@@ -8,16 +10,32 @@ import java.util.ArrayList;
 public class TreeBranch extends TreeNode {
     private ArrayList<TreeNode> children;
     private int alpha, beta;
+    private long hash;
+    private int leafCount = -1;
 
     public TreeBranch(TreeNode ... ns) {
         this.children = new ArrayList<>();
-        for(TreeNode n : ns) this.children.add(n);
+        for(TreeNode n : ns) this.link(n);
         this.alpha = Integer.MIN_VALUE;
         this.beta = Integer.MAX_VALUE;
     }
 
-    public ArrayList<TreeNode> getChildren() { return this.children; }
-    public void addChild(TreeNode t) { this.children.add(t); }
+    /* Read-only, so every change goes through addChild and invalidates the hash. */
+    public List<TreeNode> getChildren() { return Collections.unmodifiableList(this.children); }
+
+    public final void addChild(TreeNode t) { this.link(t); }
+
+    /**
+     * Appends a child and records this branch as its parent, so changes below
+     * invalidate the memoised hash here.
+     * @param t New child.
+     */
+    private void link(TreeNode t) {
+        this.children.add(t);
+        if(t.parents == null) t.parents = new ArrayList<>();
+        t.parents.add(this);
+        this.invalidate();
+    }
 
     public void setAlpha(int v) { this.alpha = v; }
     public void setBeta(int v) { this.beta = v; }
@@ -28,4 +46,42 @@ public class TreeBranch extends TreeNode {
 
     public int getAlpha() { return this.alpha; }
     public int getBeta() { return this.beta; }
+
+    /**
+     * Combines the children's hashes in order. Memoised, so hashing every
+     * branch during a search costs one pass over the tree.
+     * @return 64-bit hash.
+     */
+    @Override
+    public long getHash() {
+        if(this.leafCount < 0) this.computeSummary();
+        return this.hash;
+    }
+
+    @Override
+    public int getLeafCount() {
+        if(this.leafCount < 0) this.computeSummary();
+        return this.leafCount;
+    }
+
+    /**
+     * Drops the memoised hash and leaf count here and in every ancestor.
+     * An already invalid branch has invalid ancestors too, so we can stop there.
+     */
+    void invalidate() {
+        if(this.leafCount < 0) return;
+        this.leafCount = -1;
+        this.invalidateParents();
+    }
+
+    private void computeSummary() {
+        long h = mix(this.children.size());
+        int leaves = 0;
+        for(TreeNode n : this.children) {
+            h = mix(h * 31 + n.getHash());
+            leaves += n.getLeafCount();
+        }
+        this.hash = h;
+        this.leafCount = leaves;
+    }
 }
@@ -5,4 +5,11 @@ package io.hbt.java.AlphaBetaPruning;
  */
 public class TreeLeaf extends TreeNode {
     public TreeLeaf(int v) { this.setValue(v); }
+
+    /* A leaf's value is part of its hash, so ancestors must rehash. */
+    @Override
+    public void setValue(int v) {
+        super.setValue(v);
+        this.invalidateParents();
+    }
 }
@@ -1,12 +1,42 @@
 package io.hbt.java.AlphaBetaPruning;
 
+import java.util.ArrayList;
+
 /**
  * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
  */
 public class TreeNode {
     protected int value;
     protected boolean valueAssigned = false;
+    protected ArrayList<TreeBranch> parents; // Allocated on first link, only used to invalidate hashes.
     public void setValue(int v) { this.value = v; this.valueAssigned = true; }
     public int getValue() { return this.value; }
     public boolean hasValue() { return this.valueAssigned; }
+    public void clearValue() { this.valueAssigned = false; }
+
+    /**
+     * Structural hash of the subtree rooted here. Equal subtrees hash equally.
+     * @return 64-bit hash.
+     */
+    public long getHash() { return mix(this.value); }
+    public int getLeafCount() { return 1; }
+
+    /**
+     * Clears memoised hashes of every branch above this node.
+     */
+    protected void invalidateParents() {
+        if(this.parents == null) return;
+        for(TreeBranch p : this.parents) p.invalidate();
+    }
+
+    /**
+     * SplitMix64 finaliser.
+     * @param z Input.
+     * @return Well mixed 64-bit value.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 }
@@ -0,0 +1,218 @@
+package io.hbt.java.AlphaBetaPruning;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Persistent subtree value cache backed by a memory-mapped file.
+ *
+ * The file is a small header followed by fixed 16 byte slots, grouped into
+ * buckets of WAYS slots. Each slot holds two longs: (key ^ data) and data.
+ * A reader only accepts a slot if XORing them gives back the key it looked for,
+ * so a slot half-written by another process on the same host reads as a miss
+ * rather than as a wrong value. No locking is needed.
+ *
+ * Data layout: bits 0-31 value, 32-33 bound type, 34-47 age stamp, 48-63 leaf count.
+ *
+ * Alpha-beta only gives an exact value when the true value falls inside the
+ * (alpha, beta) window, so entries record whether the value is exact, a lower
+ * bound or an upper bound, and are only used when the current window allows it.
+ *
+ * A key already in the bucket is overwritten in place, except that an exact
+ * entry is kept rather than replaced by a bound for the same subtree.
+ *
+ * Eviction: a new key goes into an empty slot in its bucket if there is one.
+ * Otherwise it replaces the slot with the oldest age stamp, and among those
+ * the one covering the fewest leaves (cheapest to recompute). The age stamp is
+ * the wall-clock minute the entry was written, so it only moves forward and is
+ * the same for every process on the host. Stamps wrap after about 11 days, so
+ * an entry older than that may look new; this only affects eviction order.
+ *
+ * Several processes may open the same file at once, as long as they all use
+ * the same slot count. Each maps the whole file, sees the others' stores as
+ * soon as they are written, and ranks every entry by the same age stamps, so
+ * no process evicts another's recent work ahead of stale entries. Two processes
+ * storing into the same slot at the same moment can lose one of the two
+ * entries, but never produce a wrong one. Hit/miss counters are per process.
+ *
+ * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
+ */
+public class ValueCache {
+
+    /* Bound types, as stored in the slot. 0 marks an empty slot. */
+    private static final int EMPTY = 0, EXACT = 1, LOWER = 2, UPPER = 3;
+
+    private static final long MAGIC = 0x414250434143484CL; // "ABPCACHL"
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+    private static final int WAYS = 4;
+    private static final int AGE_MASK = (1 << 14) - 1;
+    private static final long AGE_PERIOD_MS = 60 * 1000;
+
+    /* Largest power of two slot count whose offsets still fit in an int. */
+    private static final int MAX_SLOTS = 1 << 26;
+
+    private MappedByteBuffer buffer;
+    private int slotCount;
+    private long hits = 0, misses = 0, stores = 0, evictions = 0;
+
+    /**
+     * Opens (or creates) a cache file.
+     * @param f Backing file.
+     * @param slots Number of slots; rounded up to a power of two, at least WAYS, at most 2^26.
+     * @throws PruningException If slots is out of range, or the file can't be mapped or was built with a different size.
+     */
+    public ValueCache(File f, int slots) throws PruningException {
+        if(slots <= 0 || slots > MAX_SLOTS) {
+            throw new PruningException("Cache slot count must be between 1 and " + MAX_SLOTS + ", got " + slots + ".");
+        }
+
+        int n = WAYS;
+        while(n < slots) n <<= 1;
+        this.slotCount = n;
+        long size = HEADER_SIZE + (long) n * SLOT_SIZE;
+
+        try(RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            boolean fresh = raf.length() == 0;
+            if(!fresh && raf.length() != size) {
+                throw new PruningException("Cache file " + f + " has the wrong size for " + n + " slots.");
+            }
+            raf.setLength(size);
+            this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        catch(IOException e) {
+            throw new PruningException("Failed to map cache file " + f + ": " + e.getMessage());
+        }
+
+        if(this.buffer.getLong(0) != MAGIC) {
+            // New (zero filled) file, write the header.
+            this.buffer.putInt(8, n);
+            this.buffer.putLong(0, MAGIC);
+        }
+        else if(this.buffer.getInt(8) != n) {
+            throw new PruningException("Cache file " + f + " has a corrupt header.");
+        }
+    }
+
+    private int slotOffset(int i) { return HEADER_SIZE + i * SLOT_SIZE; }
+    private int firstSlot(long key) { return (int) (key & (this.slotCount - 1)) & ~(WAYS - 1); }
+
+    private static int valueOf(long data) { return (int) data; }
+    private static int boundOf(long data) { return (int) (data >>> 32) & 0x3; }
+    private static int ageStampOf(long data) { return (int) (data >>> 34) & AGE_MASK; }
+    private static int currentAgeStamp() { return (int) (System.currentTimeMillis() / AGE_PERIOD_MS) & AGE_MASK; }
+    private static int leavesOf(long data) { return (int) (data >>> 48) & 0xFFFF; }
+
+    /**
+     * Key for a subtree searched by a given actor.
+     * @param t Subtree root.
+     * @param a Actor to move at the root.
+     * @return Cache key.
+     */
+    public static long keyFor(TreeNode t, AlphaBetaPruning.Actor a) {
+        return TreeNode.mix(t.getHash() + a.ordinal());
+    }
+
+    /**
+     * Looks up a subtree value usable within the given window.
+     * @param key Cache key.
+     * @param alpha Current alpha.
+     * @param beta Current beta.
+     * @return The cached value, or null if absent or not usable in this window.
+     */
+    public Integer probe(long key, int alpha, int beta) {
+        int first = this.firstSlot(key);
+        for(int i = first; i < first + WAYS; i++) {
+            int off = this.slotOffset(i);
+            long check = this.buffer.getLong(off);
+            long data = this.buffer.getLong(off + 8);
+            if((check ^ data) != key || boundOf(data) == EMPTY) continue;
+
+            int v = valueOf(data);
+            int bound = boundOf(data);
+            if(bound == EXACT || (bound == LOWER && v >= beta) || (bound == UPPER && v <= alpha)) {
+                this.hits++;
+                return v;
+            }
+            break; // Found, but only a bound that doesn't help here.
+        }
+        this.misses++;
+        return null;
+    }
+
+    /**
+     * Records a searched subtree's value.
+     * @param key Cache key.
+     * @param value Value returned by the search.
+     * @param alpha Alpha the subtree was searched with.
+     * @param beta Beta the subtree was searched with.
+     * @param leaves Number of leaves under the subtree, used as its eviction weight.
+     */
+    public void store(long key, int value, int alpha, int beta, int leaves) {
+        int bound = value <= alpha ? UPPER : (value >= beta ? LOWER : EXACT);
+        int now = currentAgeStamp();
+        long data = (value & 0xFFFFFFFFL)
+                | ((long) bound << 32)
+                | ((long) now << 34)
+                | ((long) Math.min(leaves, 0xFFFF) << 48);
+
+        int first = this.firstSlot(key);
+        int victim = -1;
+        int victimAge = -1;
+        int victimLeaves = Integer.MAX_VALUE;
+
+        for(int i = first; i < first + WAYS; i++) {
+            int off = this.slotOffset(i);
+            long check = this.buffer.getLong(off);
+            long d = this.buffer.getLong(off + 8);
+
+            // An exact value is never replaced by a bound for the same subtree.
+            if((check ^ d) == key && boundOf(d) == EXACT && bound != EXACT) return;
+
+            // Same key or empty slot, no eviction needed.
+            if((check ^ d) == key || boundOf(d) == EMPTY) {
+                victim = i;
+                break;
+            }
+
+            // Minutes since the entry was written, modulo the stamp width.
+            int age = (now - ageStampOf(d)) & AGE_MASK;
+            int l = leavesOf(d);
+            if(age > victimAge || (age == victimAge && l < victimLeaves)) {
+                victim = i;
+                victimAge = age;
+                victimLeaves = l;
+            }
+            if(i == first + WAYS - 1) this.evictions++;
+        }
+
+        int off = this.slotOffset(victim);
+        this.buffer.putLong(off + 8, data);
+        this.buffer.putLong(off, key ^ data);
+        this.stores++;
+    }
+
+    /**
+     * Writes dirty pages back to the file.
+     */
+    public void flush() { this.buffer.force(); }
+
+    public long getHits() { return this.hits; }
+    public long getMisses() { return this.misses; }
+    public long getStores() { return this.stores; }
+    public long getEvictions() { return this.evictions; }
+
+    public double getHitRate() {
+        long total = this.hits + this.misses;
+        return total == 0 ? 0.0 : (double) this.hits / total;
+    }
+
+    public String getStats() {
+        return "Cache hits: " + this.hits + ", misses: " + this.misses
+                + ", stores: " + this.stores + ", evictions: " + this.evictions
+                + String.format(" (hit rate %.1f%%)", 100 * this.getHitRate());
+    }
+}
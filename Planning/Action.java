@@ -0,0 +1,32 @@
+package io.hbt.java.Planning;
+
+/**
+ * Ground STRIPS action with preconditions and add/delete effects.
+ * Negative preconditions are allowed.
+ * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
+ */
+public class Action {
+    private String name;
+    private StripsProblem problem;
+    private long[] pre, preNeg, add, del;
+
+    public Action(String name, StripsProblem p) {
+        this.name = name;
+        this.problem = p;
+        int words = p.getWordCount();
+        this.pre = new long[words];
+        this.preNeg = new long[words];
+        this.add = new long[words];
+        this.del = new long[words];
+    }
+
+    public Action requires(String f) throws PlanningException { State.set(this.pre, this.problem.indexOf(f)); return this; }
+    public Action requiresNot(String f) throws PlanningException { State.set(this.preNeg, this.problem.indexOf(f)); return this; }
+    public Action adds(String f) throws PlanningException { State.set(this.add, this.problem.indexOf(f)); return this; }
+    public Action deletes(String f) throws PlanningException { State.set(this.del, this.problem.indexOf(f)); return this; }
+
+    public boolean applicable(State s) { return s.satisfies(this.pre, this.preNeg); }
+    public State apply(State s) { return s.apply(this.add, this.del); }
+
+    public String getName() { return this.name; }
+}
@@ -0,0 +1,92 @@
+package io.hbt.java.Planning;
+
+import java.util.ArrayList;
+
+/**
+ * The cat planning problem from "Prover9 Problem/cat.in", grounded as STRIPS.
+ * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
+ */
+public class CatDomain {
+
+    /**
+     * Grounds the cat domain.
+     * Preconditions and effects are read off the successor-state axioms:
+     *  - travel(X): cat is at X and nowhere else afterwards.
+     *  - meow: if the cat is at the food bowl, the man is also at the food bowl
+     *    afterwards. As in cat.in, at(man,...) is never deleted, so the man is then
+     *    at both the couch and the food bowl; this is intentional, not a missing
+     *    delete. Meowing anywhere else changes nothing, so that no-op variant is left out.
+     *  - scratch(O): needs cat at O, man at the food bowl and O valuable; O stops being valuable.
+     * The Prover9 goal asks for a sequence after which the tv is no longer valuable.
+     * @throws PlanningException If an action refers to an undeclared fluent.
+     * @return The ground problem.
+     */
+    public static StripsProblem buildProblem() throws PlanningException {
+        String[] locations = new String[] {"couch", "food_bowl", "tv"};
+
+        ArrayList<String> fluents = new ArrayList<>();
+        for(String l : locations) {
+            fluents.add("at(cat," + l + ")");
+            fluents.add("at(man," + l + ")");
+            fluents.add("valuable(" + l + ")");
+        }
+        StripsProblem p = new StripsProblem(fluents.toArray(new String[0]));
+
+        p.setInitial("at(cat,couch)", "at(man,couch)", "valuable(tv)");
+        p.addNegatedGoal("valuable(tv)");
+
+        for(String x : locations) {
+            Action travel = p.addAction("travel(" + x + ")").adds("at(cat," + x + ")");
+            for(String c : locations) {
+                if(!c.equals(x)) travel.deletes("at(cat," + c + ")");
+            }
+        }
+
+        p.addAction("meow").requires("at(cat,food_bowl)").adds("at(man,food_bowl)");
+
+        for(String o : locations) {
+            p.addAction("scratch(" + o + ")")
+                    .requires("at(cat," + o + ")")
+                    .requires("at(man,food_bowl)")
+                    .requires("valuable(" + o + ")")
+                    .deletes("valuable(" + o + ")");
+        }
+
+        return p;
+    }
+
+    /**
+     * Program entry point.
+     * Solves the problem once, then times repeated solves after a warm-up so the
+     * figure reflects the search rather than JVM start-up and JIT compilation.
+     * @param args Call arguments.
+     */
+    public static void main(String[] args) {
+        try {
+            StripsProblem p = CatDomain.buildProblem();
+            Planner planner = new Planner();
+
+            ArrayList<String> plan = planner.plan(p);
+            System.out.println("Plan: " + String.join(", ", plan));
+            System.out.println("Expanded " + planner.getExpanded() + " states");
+
+            int runs = 100000;
+            for(int i = 0; i < runs; i++) planner.plan(p);
+            long start = System.nanoTime();
+            for(int i = 0; i < runs; i++) planner.plan(p);
+            long elapsed = System.nanoTime() - start;
+            System.out.println(String.format("Average solve time: %.2fus", elapsed / 1000.0 / runs));
+        }
+        catch(PlanningException pe) {
+            System.out.println(pe.getErrorMessage());
+        }
+
+        /*
+         * Sample Output:
+         *
+         * Plan: travel(food_bowl), meow, travel(tv), scratch(tv)
+         * Expanded 6 states
+         * Average solve time: 0.94us
+         */
+    }
+}
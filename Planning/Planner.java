@@ -0,0 +1,103 @@
+package io.hbt.java.Planning;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+/**
+ * A* forward state-space planner for ground STRIPS problems.
+ * States are packed bitsets; duplicates are detected through a hash map from
+ * state to the cheapest cost seen so far.
+ * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
+ */
+public class Planner {
+
+    /* Search node; parent pointers let us rebuild the plan at the end. */
+    private static class SearchNode implements Comparable<SearchNode> {
+        State state;
+        SearchNode parent;
+        Action action;
+        int g, f;
+        long order;
+
+        SearchNode(State s, SearchNode p, Action a, int g, int h, long order) {
+            this.state = s;
+            this.parent = p;
+            this.action = a;
+            this.g = g;
+            this.f = g + h;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(SearchNode o) {
+            if(this.f != o.f) return Integer.compare(this.f, o.f);
+            if(this.g != o.g) return Integer.compare(o.g, this.g); // Prefer deeper nodes on ties.
+            return Long.compare(this.order, o.order);
+        }
+    }
+
+    private int expanded = 0;
+
+    /**
+     * Runs A* with unit action costs. The heuristic is the number of unsatisfied
+     * goal literals. This is only admissible when no single action achieves more
+     * than one goal literal, and that is not checked. For domains where an action
+     * can achieve several goals at once, the plan is still valid but may not be
+     * the shortest.
+     * @param p Problem to solve.
+     * @throws PlanningException If the goal is unreachable.
+     * @return Action names, in order, from the initial state to a goal state.
+     */
+    public ArrayList<String> plan(StripsProblem p) throws PlanningException {
+        this.expanded = 0;
+        long order = 0;
+
+        PriorityQueue<SearchNode> open = new PriorityQueue<>();
+        HashMap<State, Integer> bestCost = new HashMap<>();
+
+        State start = p.getInitialState();
+        open.add(new SearchNode(start, null, null, 0, p.unsatisfiedGoals(start), order++));
+        bestCost.put(start, 0);
+
+        while(!open.isEmpty()) {
+            SearchNode current = open.poll();
+
+            // Stale entry, a cheaper path to this state has already been queued.
+            if(current.g > bestCost.get(current.state)) continue;
+
+            if(p.isGoal(current.state)) return extractPlan(current);
+            this.expanded++;
+
+            for(Action a : p.getActions()) {
+                if(!a.applicable(current.state)) continue;
+                State next = a.apply(current.state);
+                int g = current.g + 1;
+                Integer known = bestCost.get(next);
+                if(known != null && known <= g) continue;
+                bestCost.put(next, g);
+                open.add(new SearchNode(next, current, a, g, p.unsatisfiedGoals(next), order++));
+            }
+        }
+
+        throw new PlanningException("No plan exists; explored " + this.expanded + " states.");
+    }
+
+    /**
+     * Follows parent pointers back to the root.
+     * @param n Goal node.
+     * @return Action names in execution order.
+     */
+    private static ArrayList<String> extractPlan(SearchNode n) {
+        ArrayList<String> plan = new ArrayList<>();
+        while(n.parent != null) {
+            plan.add(n.action.getName());
+            n = n.parent;
+        }
+        Collections.reverse(plan);
+        return plan;
+    }
+
+    public int getExpanded() { return this.expanded; }
+}
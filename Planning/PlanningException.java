@@ -0,0 +1,10 @@
+package io.hbt.java.Planning;
+
+/**
+ * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
+ */
+public class PlanningException extends Exception {
+    private String message;
+    public PlanningException(String msg) { this.message = msg; }
+    public String getErrorMessage() { return this.message; }
+}
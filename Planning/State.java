@@ -0,0 +1,78 @@
+package io.hbt.java.Planning;
+
+import java.util.Arrays;
+
+/**
+ * Immutable world state, stored as a packed bitset of true fluents.
+ * Fluent i lives in bit (i % 64) of word (i / 64).
+ * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
+ */
+public class State {
+    private final long[] bits;
+    private final int hash;
+
+    /* Takes ownership of the array; callers must not modify it afterwards. */
+    State(long[] bits) {
+        this.bits = bits;
+        this.hash = Arrays.hashCode(bits);
+    }
+
+    /**
+     * Sets a fluent's bit in a packed mask.
+     * @param mask Mask to modify.
+     * @param fluent Bit index.
+     */
+    static void set(long[] mask, int fluent) { mask[fluent >>> 6] |= 1L << fluent; }
+
+    /**
+     * Checks positive and negative literal masks against this state.
+     * @param pos Fluents which must be true.
+     * @param neg Fluents which must be false.
+     * @return Whether every literal is satisfied.
+     */
+    public boolean satisfies(long[] pos, long[] neg) {
+        for(int i = 0; i < this.bits.length; i++) {
+            if((this.bits[i] & pos[i]) != pos[i]) return false;
+            if((this.bits[i] & neg[i]) != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Counts the literals of a mask pair that do not hold in this state.
+     * @param pos Fluents which should be true.
+     * @param neg Fluents which should be false.
+     * @return Number of unsatisfied literals.
+     */
+    public int unsatisfied(long[] pos, long[] neg) {
+        int count = 0;
+        for(int i = 0; i < this.bits.length; i++) {
+            count += Long.bitCount(pos[i] & ~this.bits[i]);
+            count += Long.bitCount(neg[i] & this.bits[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Successor state, (S \ del) u add.
+     * @param add Fluents made true.
+     * @param del Fluents made false.
+     * @return The new state.
+     */
+    public State apply(long[] add, long[] del) {
+        long[] next = new long[this.bits.length];
+        for(int i = 0; i < next.length; i++) next[i] = (this.bits[i] & ~del[i]) | add[i];
+        return new State(next);
+    }
+
+    @Override
+    public int hashCode() { return this.hash; }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof State)) return false;
+        State s = (State) o;
+        return this.hash == s.hash && Arrays.equals(this.bits, s.bits);
+    }
+}
@@ -0,0 +1,73 @@
+package io.hbt.java.Planning;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Ground STRIPS planning problem: a fixed set of fluents, an initial state,
+ * a conjunctive goal (positive and negative literals) and a list of actions.
+ * @author Harri Bell-Thomas <ahb36@cam.ac.uk>
+ */
+public class StripsProblem {
+    private HashMap<String, Integer> fluents = new HashMap<>();
+    private ArrayList<Action> actions = new ArrayList<>();
+    private long[] initial, goal, goalNeg;
+    private int wordCount;
+
+    /**
+     * All fluents must be declared up front so the bitset width is fixed.
+     * @param fs Fluent names.
+     */
+    public StripsProblem(String ... fs) {
+        for(String f : fs) this.fluents.put(f, this.fluents.size());
+        this.wordCount = Math.max(1, (this.fluents.size() + 63) / 64);
+        this.initial = new long[this.wordCount];
+        this.goal = new long[this.wordCount];
+        this.goalNeg = new long[this.wordCount];
+    }
+
+    /**
+     * Looks up the bit index of a fluent.
+     * @param f Fluent name.
+     * @throws PlanningException If the fluent was never declared.
+     * @return Bit index.
+     */
+    public int indexOf(String f) throws PlanningException {
+        Integer i = this.fluents.get(f);
+        if(i == null) throw new PlanningException("Unknown fluent: " + f);
+        return i;
+    }
+
+    /**
+     * Marks fluents as true in the initial state. Everything else is false (closed world).
+     * @param fs Fluent names.
+     */
+    public void setInitial(String ... fs) throws PlanningException {
+        for(String f : fs) State.set(this.initial, this.indexOf(f));
+    }
+
+    public void addGoal(String f) throws PlanningException {
+        State.set(this.goal, this.indexOf(f));
+    }
+
+    public void addNegatedGoal(String f) throws PlanningException {
+        State.set(this.goalNeg, this.indexOf(f));
+    }
+
+    /**
+     * Creates and registers a new action; chain requires/adds/deletes on the result.
+     * @param name Printable action name.
+     * @return The new action.
+     */
+    public Action addAction(String name) {
+        Action a = new Action(name, this);
+        this.actions.add(a);
+        return a;
+    }
+
+    public State getInitialState() { return new State(this.initial.clone()); }
+    public boolean isGoal(State s) { return s.satisfies(this.goal, this.goalNeg); }
+    public int unsatisfiedGoals(State s) { return s.unsatisfied(this.goal, this.goalNeg); }
+    public ArrayList<Action> getActions() { return this.actions; }
+    public int getWordCount() { return this.wordCount; }
+}